@@ -29,6 +29,7 @@ public class BasePage {
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
         this.actions = new Actions(driver);
         PageFactory.initElements(driver, this);
+        PagePerformanceListener.pageCreated(this);
     }
     
     /**
@@ -181,4 +182,26 @@ public class BasePage {
         logger.debug("Current page URL: {}", url);
         return url;
     }
+    
+    /**
+     * Capture page performance, export it as a HAR file, report it and fail if the budget is exceeded
+     */
+    public PageMetrics capturePagePerformance() {
+        PageMetrics metrics = PageMetrics.capture(driver);
+        PagePerformanceListener.record(metrics);
+        List<String> violations = PagePerformanceListener.checkBudget(metrics, getPerformanceBudget(metrics.getUrl()));
+        if (!violations.isEmpty()) {
+            throw new AssertionError("Performance budget exceeded for " + metrics.getUrl() + ": "
+                    + String.join("; ", violations));
+        }
+        return metrics;
+    }
+    
+    /**
+     * Performance budget for the given page URL. Page objects can override this to declare their budget;
+     * it applies to explicit captures and to the automatic capture of the page the object was created on
+     */
+    protected PerformanceBudget getPerformanceBudget(String url) {
+        return PerformanceBudget.forUrl(url);
+    }
 }
@@ -8,6 +8,7 @@ import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testng.annotations.*;
@@ -17,39 +18,65 @@ import java.time.Duration;
 /**
  * Base test class that provides WebDriver setup and teardown functionality
  */
+@Listeners(TestListener.class)
 public class BaseTest {
     
     private static final Logger logger = LoggerFactory.getLogger(BaseTest.class);
     protected WebDriver driver;
+    private WebDriver sessionDriver;
     private String browserName;
     private boolean headless;
+    private BrowserContextPool contextPool;
     
     @BeforeMethod
-    @Parameters({"browser", "headless"})
-    public void setUp(@Optional("chrome") String browser, @Optional("false") String headlessMode) {
+    @Parameters({"browser", "headless", "browserContexts", "browserProcesses"})
+    public void setUp(@Optional("chrome") String browser, @Optional("false") String headlessMode,
+                      @Optional("false") String browserContexts, @Optional("2") String browserProcesses) {
         this.browserName = browser.toLowerCase();
         this.headless = Boolean.parseBoolean(headlessMode);
+        this.contextPool = null;
         
-        logger.info("Setting up WebDriver for browser: {} (headless: {})", browserName, headless);
+        if (Boolean.parseBoolean(browserContexts)) {
+            logger.info("Acquiring isolated browser context for browser: {} (headless: {})", browserName, headless);
+            contextPool = BrowserContextPool.getInstance(browserName, headless, Integer.parseInt(browserProcesses));
+            sessionDriver = contextPool.acquire();
+        } else {
+            logger.info("Setting up WebDriver for browser: {} (headless: {})", browserName, headless);
+            sessionDriver = createWebDriver(browserName, headless);
+            sessionDriver.manage().window().maximize();
+        }
         
-        driver = createWebDriver(browserName, headless);
-        driver.manage().window().maximize();
+        if (PagePerformanceListener.isEnabled()) {
+            driver = new EventFiringDecorator<>(new PagePerformanceListener(sessionDriver)).decorate(sessionDriver);
+        } else {
+            driver = sessionDriver;
+        }
         driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
         driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
     }
     
     @AfterMethod
     public void tearDown() {
-        if (driver != null) {
-            logger.info("Closing WebDriver");
-            driver.quit();
+        if (sessionDriver != null) {
+            if (contextPool != null) {
+                logger.info("Releasing browser context");
+                contextPool.release(sessionDriver);
+            } else {
+                logger.info("Closing WebDriver");
+                sessionDriver.quit();
+            }
         }
     }
     
+    @AfterSuite(alwaysRun = true)
+    public void shutDownBrowserContextPool() {
+        BrowserContextPool.shutdown();
+    }
+    
     /**
      * Creates WebDriver instance based on browser type
      */
-    private WebDriver createWebDriver(String browserName, boolean headless) {
+    static WebDriver createWebDriver(String browserName, boolean headless) {
         switch (browserName) {
             case "chrome":
                 WebDriverManager.chromedriver().setup();
@@ -0,0 +1,359 @@
+package com.example.framework;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.service.DriverService;
+import org.openqa.selenium.support.decorators.Decorated;
+import org.openqa.selenium.support.decorators.WebDriverDecorator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Pool of a few browser processes that each host many isolated browser contexts.
+ * Every acquired driver is a separate WebDriver session attached to its own context,
+ * so cookies and storage are not shared between tests running in the same browser.
+ * Sessions talk to the driver service of their browser without owning it, so quitting one
+ * leaves the service and the other sessions on that browser running.
+ * Window handles are limited to the driver's own context: other tests' tabs are not listed,
+ * cannot be switched to, and new windows and tabs open inside the context.
+ * Only Chromium-based browsers (chrome, edge) are supported.
+ */
+public class BrowserContextPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(BrowserContextPool.class);
+    private static BrowserContextPool instance;
+
+    private final String browserName;
+    private final boolean headless;
+    private final int browserProcesses;
+    private final List<BrowserHost> hosts = new ArrayList<>();
+    private final Map<WebDriver, BrowserContext> contexts = new ConcurrentHashMap<>();
+
+    /**
+     * Start a pool of its own, separate from the shared pool; the caller closes it
+     */
+    BrowserContextPool(String browserName, boolean headless, int browserProcesses) {
+        this.browserName = browserName;
+        this.headless = headless;
+        this.browserProcesses = browserProcesses;
+        try {
+            for (int i = 0; i < browserProcesses; i++) {
+                hosts.add(startHost());
+            }
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+        logger.info("Browser context pool started with {} {} process(es) (headless: {})",
+                browserProcesses, browserName, headless);
+    }
+
+    /**
+     * Get the shared pool, starting its browser processes on first use.
+     * Fails if the pool is already running with a different configuration.
+     */
+    public static synchronized BrowserContextPool getInstance(String browserName, boolean headless, int browserProcesses) {
+        if (browserProcesses < 1) {
+            throw new IllegalArgumentException("Browser process count must be positive: " + browserProcesses);
+        }
+        if (instance == null) {
+            instance = new BrowserContextPool(browserName, headless, browserProcesses);
+        } else if (!instance.browserName.equals(browserName) || instance.headless != headless
+                || instance.browserProcesses != browserProcesses) {
+            throw new IllegalStateException(String.format(
+                    "Browser context pool already running %d %s process(es) (headless: %s); cannot provide %d %s process(es) (headless: %s)",
+                    instance.browserProcesses, instance.browserName, instance.headless,
+                    browserProcesses, browserName, headless));
+        }
+        return instance;
+    }
+
+    /**
+     * Close all contexts and browser processes of the shared pool
+     */
+    public static synchronized void shutdown() {
+        if (instance != null) {
+            instance.close();
+            instance = null;
+        }
+    }
+
+    /**
+     * Create a new isolated browser context on the least loaded browser and return a driver bound to it
+     */
+    public WebDriver acquire() {
+        BrowserHost host;
+        synchronized (hosts) {
+            host = hosts.stream().min(Comparator.comparingInt(h -> h.activeContexts)).orElseThrow();
+            host.activeContexts++;
+        }
+
+        String contextId = null;
+        WebDriver driver = null;
+        try {
+            String targetId;
+            synchronized (host) {
+                contextId = (String) host.send("Target.createBrowserContext", Map.of()).get("browserContextId");
+                targetId = host.createTarget(contextId, false);
+            }
+
+            // Window handles are DevTools target ids, so the new session can switch straight to its tab
+            driver = attachDriver(host);
+            driver.switchTo().window(targetId);
+            BrowserContext context = new BrowserContext(host, contextId);
+            WebDriver contextDriver = context.decorate(driver);
+            contexts.put(contextDriver, context);
+            logger.debug("Acquired browser context {} on {}", contextId, host.debuggerAddress);
+            return contextDriver;
+        } catch (RuntimeException e) {
+            if (driver != null) {
+                driver.quit();
+            }
+            releaseContext(host, contextId);
+            throw new RuntimeException("Failed to create browser context on " + host.debuggerAddress, e);
+        }
+    }
+
+    /**
+     * End the driver session and dispose its browser context, keeping the browser process alive
+     */
+    public void release(WebDriver driver) {
+        BrowserContext context = contexts.remove(driver);
+        if (context == null) {
+            logger.warn("Driver was not acquired from the browser context pool, quitting it instead");
+            driver.quit();
+            return;
+        }
+        try {
+            driver.quit();
+        } finally {
+            releaseContext(context.host, context.contextId);
+            logger.debug("Released browser context {} on {}", context.contextId, context.host.debuggerAddress);
+        }
+    }
+
+    /**
+     * Get the number of contexts currently handed out
+     */
+    public int getActiveContexts() {
+        return contexts.size();
+    }
+
+    private void releaseContext(BrowserHost host, String contextId) {
+        try {
+            if (contextId != null) {
+                synchronized (host) {
+                    host.send("Target.disposeBrowserContext", Map.of("browserContextId", contextId));
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to dispose browser context {}", contextId, e);
+        } finally {
+            synchronized (hosts) {
+                host.activeContexts--;
+            }
+        }
+    }
+
+    /**
+     * Close all contexts and browser processes of this pool
+     */
+    void close() {
+        for (WebDriver driver : new ArrayList<>(contexts.keySet())) {
+            release(driver);
+        }
+        for (BrowserHost host : hosts) {
+            logger.info("Closing pooled browser at {}", host.debuggerAddress);
+            host.driver.quit();
+            host.service.stop();
+        }
+        hosts.clear();
+    }
+
+    /**
+     * Start a driver service and the browser process it owns
+     */
+    private BrowserHost startHost() {
+        switch (browserName) {
+            case "chrome":
+                WebDriverManager.chromedriver().setup();
+                ChromeDriverService chromeService = ChromeDriverService.createDefaultService();
+                ChromeOptions chromeOptions = new ChromeOptions();
+                if (headless) {
+                    chromeOptions.addArguments("--headless");
+                }
+                chromeOptions.addArguments("--no-sandbox");
+                chromeOptions.addArguments("--disable-dev-shm-usage");
+                return startHost(chromeService, () -> new ChromeDriver(chromeService, chromeOptions),
+                        ChromeOptions.CAPABILITY);
+
+            case "edge":
+                WebDriverManager.edgedriver().setup();
+                EdgeDriverService edgeService = EdgeDriverService.createDefaultService();
+                EdgeOptions edgeOptions = new EdgeOptions();
+                if (headless) {
+                    edgeOptions.addArguments("--headless");
+                }
+                return startHost(edgeService, () -> new EdgeDriver(edgeService, edgeOptions),
+                        EdgeOptions.CAPABILITY);
+
+            default:
+                throw new IllegalArgumentException("Browser contexts are not supported for browser: " + browserName);
+        }
+    }
+
+    /**
+     * Start the driver service and launch its browser, stopping the service again if the browser does not start
+     */
+    private BrowserHost startHost(DriverService service, Supplier<ChromiumDriver> browser, String optionsCapability) {
+        try {
+            service.start();
+        } catch (IOException e) {
+            throw new WebDriverException("Failed to start driver service for " + browserName, e);
+        }
+        try {
+            return new BrowserHost(service, browser.get(), optionsCapability);
+        } catch (RuntimeException e) {
+            service.stop();
+            throw e;
+        }
+    }
+
+    /**
+     * Open an additional WebDriver session that drives the existing browser of the host.
+     * A ChromeDriver or EdgeDriver would stop the shared driver service when it quits, so the session
+     * connects to the service as a remote driver and is augmented to keep DevTools access.
+     */
+    private WebDriver attachDriver(BrowserHost host) {
+        switch (browserName) {
+            case "chrome":
+                ChromeOptions chromeOptions = new ChromeOptions();
+                chromeOptions.setExperimentalOption("debuggerAddress", host.debuggerAddress);
+                return new Augmenter().augment(new RemoteWebDriver(host.service.getUrl(), chromeOptions));
+
+            case "edge":
+                EdgeOptions edgeOptions = new EdgeOptions();
+                edgeOptions.setExperimentalOption("debuggerAddress", host.debuggerAddress);
+                return new Augmenter().augment(new RemoteWebDriver(host.service.getUrl(), edgeOptions));
+
+            default:
+                throw new IllegalArgumentException("Browser contexts are not supported for browser: " + browserName);
+        }
+    }
+
+    /**
+     * A browser process, the driver service that launched it and its browser-level DevTools connection
+     */
+    private static class BrowserHost {
+        private final DriverService service;
+        private final ChromiumDriver driver;
+        private final DevTools devTools;
+        private final String debuggerAddress;
+        private int activeContexts;
+
+        BrowserHost(DriverService service, ChromiumDriver driver, String optionsCapability) {
+            this.service = service;
+            this.driver = driver;
+            this.devTools = driver.getDevTools();
+            Map<?, ?> options = (Map<?, ?>) driver.getCapabilities().getCapability(optionsCapability);
+            this.debuggerAddress = options != null ? (String) options.get("debuggerAddress") : null;
+            if (debuggerAddress == null) {
+                driver.quit();
+                throw new IllegalStateException("Browser did not report a debugger address");
+            }
+        }
+
+        /**
+         * Send a browser-level DevTools command, outside of any page session
+         */
+        Map<String, Object> send(String method, Map<String, Object> params) {
+            return devTools.send(new Command<>(method, params, Json.MAP_TYPE));
+        }
+
+        /**
+         * Get the ids of the pages that belong to a browser context
+         */
+        synchronized Set<String> contextTargets(String contextId) {
+            Set<String> targetIds = new HashSet<>();
+            List<?> targetInfos = (List<?>) send("Target.getTargets", Map.of()).get("targetInfos");
+            for (Object targetInfo : targetInfos) {
+                Map<?, ?> info = (Map<?, ?>) targetInfo;
+                if ("page".equals(info.get("type")) && contextId.equals(info.get("browserContextId"))) {
+                    targetIds.add((String) info.get("targetId"));
+                }
+            }
+            return targetIds;
+        }
+
+        /**
+         * Open a blank page inside a browser context and return its target id
+         */
+        synchronized String createTarget(String contextId, boolean newWindow) {
+            return (String) send("Target.createTarget", Map.of("url", "about:blank",
+                    "browserContextId", contextId, "newWindow", newWindow)).get("targetId");
+        }
+    }
+
+    /**
+     * Browser context handed out together with a driver. Decorates the driver so that window
+     * handles, window switching and new windows stay within the context.
+     */
+    private static class BrowserContext extends WebDriverDecorator<WebDriver> {
+        private final BrowserHost host;
+        private final String contextId;
+
+        BrowserContext(BrowserHost host, String contextId) {
+            this.host = host;
+            this.contextId = contextId;
+        }
+
+        @Override
+        public Object call(Decorated<?> target, Method method, Object[] args) throws Throwable {
+            Object original = target.getOriginal();
+            if (original instanceof WebDriver && method.getName().equals("getWindowHandles")) {
+                Set<String> ownTargets = host.contextTargets(contextId);
+                Set<String> handles = new LinkedHashSet<>();
+                for (Object handle : (Set<?>) super.call(target, method, args)) {
+                    if (ownTargets.contains(handle)) {
+                        handles.add((String) handle);
+                    }
+                }
+                return handles;
+            }
+            if (original instanceof WebDriver.TargetLocator && method.getName().equals("window")) {
+                if (!host.contextTargets(contextId).contains(args[0])) {
+                    throw new NoSuchWindowException("No window in this browser context: " + args[0]);
+                }
+            }
+            if (original instanceof WebDriver.TargetLocator && method.getName().equals("newWindow")) {
+                // The session is attached to the whole browser, so open the page in this context ourselves.
+                // Switching returns the driver through every decorator wrapping this one, like newWindow would.
+                String targetId = host.createTarget(contextId, args[0] == WindowType.WINDOW);
+                Method window = WebDriver.TargetLocator.class.getMethod("window", String.class);
+                return super.call(target, window, new Object[]{targetId});
+            }
+            return super.call(target, method, args);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.framework;
+
+import io.github.bonigarcia.wdm.config.WebDriverManagerException;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WindowType;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.nio.file.Paths;
+
+/**
+ * Checks that browser contexts sharing one browser process do not leak state into each other
+ * and outlive each other's sessions. Runs on a pool of its own so the shared pool is left alone.
+ * Skipped when no Chrome browser can be launched.
+ */
+public class BrowserContextPoolTest {
+
+    private LocalPageServer server;
+    private BrowserContextPool pool;
+
+    @BeforeClass
+    public void startPool() {
+        server = new LocalPageServer(Paths.get("src/test/resources/pages"));
+        server.start();
+        try {
+            pool = new BrowserContextPool("chrome", true, 1);
+        } catch (WebDriverException | WebDriverManagerException e) {
+            server.stop();
+            throw new SkipException("Chrome is not available: " + e.getMessage());
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopPool() {
+        if (pool != null) {
+            pool.close();
+        }
+        server.stop();
+    }
+
+    @Test(description = "Cookies, storage and window handles stay within their browser context")
+    public void testContextsAreIsolated() {
+        WebDriver first = pool.acquire();
+        WebDriver second = pool.acquire();
+        try {
+            first.get(server.getBaseUrl());
+            second.get(server.getBaseUrl());
+
+            first.manage().addCookie(new Cookie("owner", "first"));
+            ((JavascriptExecutor) first).executeScript("localStorage.setItem('owner', 'first')");
+            second.navigate().refresh();
+
+            Assert.assertNull(second.manage().getCookieNamed("owner"), "Cookie leaked into second context");
+            Assert.assertNull(((JavascriptExecutor) second).executeScript("return localStorage.getItem('owner')"),
+                    "Local storage leaked into second context");
+
+            String firstHandle = first.getWindowHandle();
+            first.switchTo().newWindow(WindowType.TAB);
+            Assert.assertEquals(first.getWindowHandles().size(), 2, "New tab should open in the first context");
+            Assert.assertEquals(second.getWindowHandles().size(), 1, "Second context should only see its own tab");
+            Assert.assertFalse(second.getWindowHandles().contains(firstHandle),
+                    "Second context should not see the first context's tab");
+            Assert.assertThrows(NoSuchWindowException.class, () -> second.switchTo().window(firstHandle));
+        } finally {
+            pool.release(first);
+            pool.release(second);
+        }
+    }
+
+    @Test(description = "Releasing a context leaves the browser and its other contexts usable")
+    public void testReleaseKeepsOtherContextsRunning() {
+        WebDriver first = pool.acquire();
+        WebDriver second = pool.acquire();
+        WebDriver third = null;
+        try {
+            first.get(server.getBaseUrl());
+            pool.release(first);
+
+            second.get(server.getBaseUrl());
+            Assert.assertEquals(second.getCurrentUrl(), server.getBaseUrl());
+
+            third = pool.acquire();
+            third.get(server.getBaseUrl());
+            Assert.assertEquals(third.getCurrentUrl(), server.getBaseUrl());
+            Assert.assertEquals(pool.getActiveContexts(), 2);
+        } finally {
+            pool.release(second);
+            if (third != null) {
+                pool.release(third);
+            }
+        }
+    }
+}
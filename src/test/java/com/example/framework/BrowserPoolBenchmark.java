@@ -0,0 +1,121 @@
+package com.example.framework;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmark comparing one browser per test with tests multiplexed over pooled browser contexts.
+ * Reports throughput in tests per minute and resident memory of the browser processes per concurrent test.
+ *
+ * Usage: BrowserPoolBenchmark [dedicated|contexts] [concurrency] [tests] [browserProcesses] [browser] [headless] [url]
+ */
+public class BrowserPoolBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(BrowserPoolBenchmark.class);
+    private static final String DEFAULT_URL = "data:text/html,<title>Benchmark</title><h1>Benchmark page</h1>";
+
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "contexts";
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int tests = args.length > 2 ? Integer.parseInt(args[2]) : 40;
+        int browserProcesses = args.length > 3 ? Integer.parseInt(args[3]) : 2;
+        String browserName = args.length > 4 ? args[4].toLowerCase() : "chrome";
+        boolean headless = args.length <= 5 || Boolean.parseBoolean(args[5]);
+        String url = args.length > 6 ? args[6] : DEFAULT_URL;
+        if (!mode.equals("dedicated") && !mode.equals("contexts")) {
+            throw new IllegalArgumentException("Benchmark mode not supported: " + mode);
+        }
+        boolean useContexts = mode.equals("contexts");
+
+        logger.info("Running {} tests with concurrency {} in {} mode", tests, concurrency, mode);
+
+        BrowserContextPool pool = useContexts
+                ? BrowserContextPool.getInstance(browserName, headless, browserProcesses)
+                : null;
+
+        AtomicLong peakMemory = new AtomicLong();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> peakMemory.accumulateAndGet(childProcessMemory(), Math::max),
+                0, 200, TimeUnit.MILLISECONDS);
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        AtomicInteger failures = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < tests; i++) {
+                futures.add(workers.submit(() -> {
+                    WebDriver driver = null;
+                    try {
+                        driver = useContexts ? pool.acquire() : BaseTest.createWebDriver(browserName, headless);
+                        driver.get(url);
+                        driver.getTitle();
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                        logger.warn("Benchmark test failed", e);
+                    } finally {
+                        if (driver != null && useContexts) {
+                            pool.release(driver);
+                        } else if (driver != null) {
+                            driver.quit();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            long elapsedNanos = System.nanoTime() - start;
+            workers.shutdown();
+            sampler.shutdown();
+            BrowserContextPool.shutdown();
+
+            double minutes = elapsedNanos / 60_000_000_000.0;
+            long peak = peakMemory.get();
+            logger.info("Mode: {}, browser processes: {}, concurrency: {}", mode,
+                    useContexts ? browserProcesses : concurrency, concurrency);
+            logger.info("Completed {} tests ({} failed) in {} ms: {} tests/minute", tests, failures.get(),
+                    elapsedNanos / 1_000_000, String.format("%.1f", tests / minutes));
+            if (peak > 0) {
+                logger.info("Peak browser memory: {} MB, {} MB per concurrent test", peak / (1024 * 1024),
+                        String.format("%.1f", peak / (1024.0 * 1024.0) / concurrency));
+            } else {
+                logger.info("Browser memory not available on this platform");
+            }
+        }
+    }
+
+    /**
+     * Sum the resident memory of all processes started by this JVM (driver services and browsers).
+     * Reads /proc, so it only reports memory on Linux; shared pages are counted once per process.
+     */
+    private static long childProcessMemory() {
+        return ProcessHandle.current().descendants()
+                .mapToLong(process -> residentBytes(process.pid()))
+                .sum();
+    }
+
+    private static long residentBytes(long pid) {
+        try {
+            for (String line : Files.readAllLines(Paths.get("/proc", String.valueOf(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Process exited or /proc is not available
+        }
+        return 0;
+    }
+}
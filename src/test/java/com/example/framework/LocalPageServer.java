@@ -0,0 +1,86 @@
+package com.example.framework;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Minimal HTTP server for static test pages, so page performance can be measured against local content.
+ * Responses allow Resource Timing access so transfer sizes and timings are reported.
+ */
+public class LocalPageServer {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalPageServer.class);
+    private final Path rootDirectory;
+    private HttpServer server;
+
+    public LocalPageServer(Path rootDirectory) {
+        this.rootDirectory = rootDirectory.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Start serving the root directory on a free local port
+     */
+    public void start() {
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            server.createContext("/", this::handle);
+            server.start();
+            logger.info("Serving {} at {}", rootDirectory, getBaseUrl());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start local page server", e);
+        }
+    }
+
+    /**
+     * Stop the server
+     */
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+            logger.info("Local page server stopped");
+        }
+    }
+
+    /**
+     * Get the base URL of the server, ending with a slash
+     */
+    public String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/";
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String requestPath = exchange.getRequestURI().getPath();
+        Path file = rootDirectory.resolve(requestPath.substring(1)).normalize();
+        if (Files.isDirectory(file)) {
+            file = file.resolve("index.html");
+        }
+
+        exchange.getResponseHeaders().add("Timing-Allow-Origin", "*");
+        if (!file.startsWith(rootDirectory) || !Files.isRegularFile(file)) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+
+        String contentType = Files.probeContentType(file);
+        if (contentType != null) {
+            exchange.getResponseHeaders().add("Content-Type", contentType);
+        }
+        byte[] body = Files.readAllBytes(file);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+        logger.debug("Served {} ({} bytes)", requestPath, body.length);
+    }
+}
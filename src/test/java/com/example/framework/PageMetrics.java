@@ -0,0 +1,290 @@
+package com.example.framework;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Navigation and Resource Timing data captured from the current page via performance.getEntries()
+ */
+public class PageMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(PageMetrics.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final int RESOURCE_BUFFER_SIZE = 2000;
+    private static final String RESOURCE_BUFFER_SCRIPT =
+            "performance.setResourceTimingBufferSize(" + RESOURCE_BUFFER_SIZE + ");" +
+            "performance.addEventListener('resourcetimingbufferfull', () => window.__resourceTimingBufferFull = true);";
+    private static final String LOADED_SCRIPT =
+            "const navigation = performance.getEntriesByType('navigation')[0];" +
+            "return document.readyState === 'complete' && (!navigation || navigation.loadEventEnd > 0);";
+    private static final String CAPTURE_SCRIPT =
+            "return JSON.stringify({" +
+            "url: location.href," +
+            "title: document.title," +
+            "timeOrigin: performance.timeOrigin," +
+            "navigation: performance.getEntriesByType('navigation').map(e => e.toJSON())[0] || null," +
+            "resources: performance.getEntriesByType('resource').map(e => e.toJSON())," +
+            "resourceBufferFull: window.__resourceTimingBufferFull === true" +
+            "});";
+
+    private final String url;
+    private final String title;
+    private final double timeOrigin;
+    private final JsonNode navigation;
+    private final List<JsonNode> resources = new ArrayList<>();
+    private final boolean resourceBufferFull;
+
+    private PageMetrics(JsonNode root) {
+        this.url = root.path("url").asText();
+        this.title = root.path("title").asText();
+        this.timeOrigin = root.path("timeOrigin").asDouble();
+        this.navigation = root.path("navigation").isObject() ? root.get("navigation") : null;
+        root.path("resources").forEach(resources::add);
+        this.resourceBufferFull = root.path("resourceBufferFull").asBoolean();
+    }
+
+    /**
+     * Wait for the page currently loaded in the driver to finish loading and capture its performance entries
+     */
+    public static PageMetrics capture(WebDriver driver) {
+        new WebDriverWait(driver, Duration.ofSeconds(10))
+                .until(d -> Boolean.TRUE.equals(((JavascriptExecutor) d).executeScript(LOADED_SCRIPT)));
+        String json = (String) ((JavascriptExecutor) driver).executeScript(CAPTURE_SCRIPT);
+        PageMetrics metrics = fromJson(json);
+        logger.debug("Captured {} performance entries for: {}", metrics.getRequestCount(), metrics.url);
+
+        if (metrics.isResourceBufferFull()) {
+            TestReporter.logWarning("Resource Timing buffer is full (" + metrics.resources.size() + " entries) for "
+                    + metrics.url + "; request count and total bytes may be understated");
+        }
+        return metrics;
+    }
+
+    /**
+     * Raise the Resource Timing buffer above its default of 250 entries and watch for it filling up.
+     * Chromium drivers apply it to every new document before it loads; other browsers only get it
+     * for the current document.
+     */
+    public static void enlargeResourceBuffer(WebDriver driver) {
+        try {
+            if (driver instanceof HasCdp) {
+                ((HasCdp) driver).executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+                        Map.of("source", RESOURCE_BUFFER_SCRIPT));
+            }
+            ((JavascriptExecutor) driver).executeScript(RESOURCE_BUFFER_SCRIPT);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to enlarge the Resource Timing buffer", e);
+        }
+    }
+
+    /**
+     * Build metrics from the JSON produced by the capture script
+     */
+    static PageMetrics fromJson(String json) {
+        try {
+            return new PageMetrics(mapper.readTree(json));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to parse page performance entries", e);
+        }
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Identifies the document the entries belong to
+     */
+    public double getTimeOrigin() {
+        return timeOrigin;
+    }
+
+    /**
+     * Whether the page reported its Resource Timing buffer full, or the entries reached the enlarged buffer size,
+     * in which case later requests are missing from the metrics
+     */
+    public boolean isResourceBufferFull() {
+        return resourceBufferFull || resources.size() >= RESOURCE_BUFFER_SIZE;
+    }
+
+    /**
+     * Time to first byte of the main document, in milliseconds since navigation start
+     */
+    public double getTimeToFirstByte() {
+        return navigation != null ? navigation.path("responseStart").asDouble() : 0;
+    }
+
+    /**
+     * Time until DOMContentLoaded finished, in milliseconds since navigation start
+     */
+    public double getDomContentLoadedTime() {
+        return navigation != null ? navigation.path("domContentLoadedEventEnd").asDouble() : 0;
+    }
+
+    /**
+     * Time until the load event finished, in milliseconds since navigation start
+     */
+    public double getLoadTime() {
+        return navigation != null ? navigation.path("loadEventEnd").asDouble() : 0;
+    }
+
+    /**
+     * Number of requests including the main document
+     */
+    public int getRequestCount() {
+        return resources.size() + (navigation != null ? 1 : 0);
+    }
+
+    /**
+     * Total bytes of the document and its resources.
+     * Cached and local responses report no transfer size, so their encoded body size is counted instead.
+     */
+    public long getTotalBytes() {
+        long total = navigation != null ? entryBytes(navigation) : 0;
+        for (JsonNode resource : resources) {
+            total += entryBytes(resource);
+        }
+        return total;
+    }
+
+    private static long entryBytes(JsonNode entry) {
+        long transferSize = entry.path("transferSize").asLong();
+        return transferSize > 0 ? transferSize : entry.path("encodedBodySize").asLong();
+    }
+
+    /**
+     * Summary table for the report
+     */
+    public String[][] toTable() {
+        return new String[][]{
+                {"URL", url},
+                {"TTFB (ms)", String.format("%.0f", getTimeToFirstByte())},
+                {"DOMContentLoaded (ms)", String.format("%.0f", getDomContentLoadedTime())},
+                {"Load (ms)", String.format("%.0f", getLoadTime())},
+                {"Requests", String.valueOf(getRequestCount())},
+                {"Total bytes", String.valueOf(getTotalBytes())}
+        };
+    }
+
+    /**
+     * Convert the entries to a HAR 1.2 style log. Request methods, headers and cookies are not available
+     * from Resource Timing, so methods are left empty, and timings of cross-origin resources without
+     * Timing-Allow-Origin are -1.
+     */
+    public ObjectNode toHar() {
+        ObjectNode root = mapper.createObjectNode();
+        ObjectNode log = root.putObject("log");
+        log.put("version", "1.2");
+        log.putObject("creator").put("name", "maven-jfrog-demo").put("version", "1.0");
+
+        ObjectNode page = log.putArray("pages").addObject();
+        page.put("startedDateTime", toDateTime(0));
+        page.put("id", "page_1");
+        page.put("title", title);
+        page.putObject("pageTimings")
+                .put("onContentLoad", getDomContentLoadedTime())
+                .put("onLoad", getLoadTime());
+
+        ArrayNode entries = log.putArray("entries");
+        if (navigation != null) {
+            entries.add(toHarEntry(navigation));
+        }
+        for (JsonNode resource : resources) {
+            entries.add(toHarEntry(resource));
+        }
+        return root;
+    }
+
+    /**
+     * Write the HAR style log to a file
+     */
+    public void exportHar(String filePath) {
+        File harFile = new File(filePath);
+        if (harFile.getParentFile() != null && !harFile.getParentFile().exists()) {
+            harFile.getParentFile().mkdirs();
+        }
+        try {
+            mapper.writerWithDefaultPrettyPrinter().writeValue(harFile, toHar());
+            logger.debug("Exported HAR for {} to: {}", url, filePath);
+        } catch (IOException e) {
+            logger.error("Error writing HAR file: {}", filePath, e);
+            throw new RuntimeException("Failed to export HAR", e);
+        }
+    }
+
+    private ObjectNode toHarEntry(JsonNode entry) {
+        ObjectNode harEntry = mapper.createObjectNode();
+        harEntry.put("pageref", "page_1");
+        harEntry.put("startedDateTime", toDateTime(entry.path("startTime").asDouble()));
+        harEntry.put("time", entry.path("duration").asDouble());
+        harEntry.put("_initiatorType", entry.path("initiatorType").asText());
+
+        ObjectNode request = harEntry.putObject("request");
+        request.put("method", "");
+        request.put("url", entry.path("name").asText());
+        request.put("httpVersion", entry.path("nextHopProtocol").asText());
+        request.putArray("headers");
+        request.putArray("queryString");
+        request.putArray("cookies");
+        request.put("headersSize", -1);
+        request.put("bodySize", -1);
+
+        ObjectNode response = harEntry.putObject("response");
+        response.put("status", entry.path("responseStatus").asInt());
+        response.put("statusText", "");
+        response.put("httpVersion", entry.path("nextHopProtocol").asText());
+        response.putArray("headers");
+        response.putArray("cookies");
+        response.putObject("content")
+                .put("size", entry.path("decodedBodySize").asLong())
+                .put("mimeType", "");
+        response.put("redirectURL", "");
+        response.put("headersSize", -1);
+        response.put("bodySize", entry.path("encodedBodySize").asLong());
+        response.put("_transferSize", entry.path("transferSize").asLong());
+
+        harEntry.putObject("cache");
+        harEntry.putObject("timings")
+                .put("blocked", -1)
+                .put("dns", span(entry, "domainLookupStart", "domainLookupEnd"))
+                .put("connect", span(entry, "connectStart", "connectEnd"))
+                .put("ssl", span(entry, "secureConnectionStart", "connectEnd"))
+                .put("send", 0)
+                .put("wait", span(entry, "requestStart", "responseStart"))
+                .put("receive", span(entry, "responseStart", "responseEnd"));
+        return harEntry;
+    }
+
+    /**
+     * Duration between two timestamps of an entry, or -1 when the browser withheld them
+     */
+    private static double span(JsonNode entry, String startField, String endField) {
+        double start = entry.path(startField).asDouble();
+        double end = entry.path(endField).asDouble();
+        return start > 0 && end >= start ? end - start : -1;
+    }
+
+    private String toDateTime(double offsetMillis) {
+        return Instant.ofEpochMilli(Math.round(timeOrigin + offsetMillis)).toString();
+    }
+}
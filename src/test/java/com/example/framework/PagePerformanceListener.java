@@ -0,0 +1,181 @@
+package com.example.framework;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URL;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Captures page performance whenever a new document is loaded through the driver: get, back, forward,
+ * refresh, and clicks or submits that navigate. Enable with -Dpage.performance=true; BaseTest installs it.
+ * EventFiringDecorator swallows listener exceptions, so captured pages are collected per thread and
+ * TestListener checks them against their budgets once the test method returns. A page object created
+ * for a captured page supplies the budget through getPerformanceBudget, otherwise the budgets file applies.
+ */
+public class PagePerformanceListener implements WebDriverListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(PagePerformanceListener.class);
+    private static final boolean ENABLED = Boolean.getBoolean("page.performance");
+    private static final ThreadLocal<List<PageCapture>> pendingCaptures = ThreadLocal.withInitial(ArrayList::new);
+
+    private final WebDriver driver;
+    private Object lastCapturedDocument;
+
+    public PagePerformanceListener(WebDriver driver) {
+        this.driver = driver;
+        PageMetrics.enlargeResourceBuffer(driver);
+    }
+
+    /**
+     * Check whether automatic page performance capture was requested for this run
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    @Override
+    public void afterGet(WebDriver driver, String url) {
+        captureNewDocument();
+    }
+
+    @Override
+    public void afterClick(WebElement element) {
+        captureNewDocument();
+    }
+
+    @Override
+    public void afterSubmit(WebElement element) {
+        captureNewDocument();
+    }
+
+    @Override
+    public void afterTo(WebDriver.Navigation navigation, String url) {
+        captureNewDocument();
+    }
+
+    @Override
+    public void afterTo(WebDriver.Navigation navigation, URL url) {
+        captureNewDocument();
+    }
+
+    @Override
+    public void afterBack(WebDriver.Navigation navigation) {
+        captureNewDocument();
+    }
+
+    @Override
+    public void afterForward(WebDriver.Navigation navigation) {
+        captureNewDocument();
+    }
+
+    @Override
+    public void afterRefresh(WebDriver.Navigation navigation) {
+        captureNewDocument();
+    }
+
+    /**
+     * Capture the current page unless its document was already captured, e.g. after a click that did not navigate
+     */
+    private void captureNewDocument() {
+        try {
+            String url = driver.getCurrentUrl();
+            if (url == null || !(url.startsWith("http") || url.startsWith("file"))) {
+                return;
+            }
+            Object document = ((JavascriptExecutor) driver).executeScript("return performance.timeOrigin");
+            if (document != null && document.equals(lastCapturedDocument)) {
+                logger.debug("Page performance already captured for: {}", url);
+                return;
+            }
+            lastCapturedDocument = document;
+
+            PageMetrics metrics = PageMetrics.capture(driver);
+            record(metrics);
+            pendingCaptures.get().add(new PageCapture(metrics));
+        } catch (RuntimeException e) {
+            logger.warn("Failed to capture page performance", e);
+        }
+    }
+
+    /**
+     * Let a page object created for the page captured last decide that page's budget
+     */
+    static void pageCreated(BasePage page) {
+        List<PageCapture> captures = pendingCaptures.get();
+        if (captures.isEmpty()) {
+            return;
+        }
+        PageCapture capture = captures.get(captures.size() - 1);
+        if (capture.page == null && capture.metrics.getUrl().equals(page.driver.getCurrentUrl())) {
+            capture.page = page;
+        }
+    }
+
+    /**
+     * Check the pages captured on the current thread since the last call against their budgets
+     * and return the violations
+     */
+    public static List<String> drainViolations() {
+        List<String> violations = new ArrayList<>();
+        for (PageCapture capture : pendingCaptures.get()) {
+            String url = capture.metrics.getUrl();
+            PerformanceBudget budget = capture.page != null
+                    ? capture.page.getPerformanceBudget(url)
+                    : PerformanceBudget.forUrl(url);
+            violations.addAll(checkBudget(capture.metrics, budget));
+        }
+        pendingCaptures.get().clear();
+        return violations;
+    }
+
+    /**
+     * Export the metrics as a HAR file and add them to the report
+     */
+    static void record(PageMetrics metrics) {
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss-SSS"));
+        String pageName = metrics.getUrl().replaceFirst("^[a-z]+://", "").replaceAll("[^A-Za-z0-9.-]", "_");
+        String harPath = "test-output/performance/" + timestamp + "_"
+                + pageName.substring(0, Math.min(pageName.length(), 80)) + ".har";
+        metrics.exportHar(harPath);
+
+        TestReporter.logInfo("Page performance captured: " + harPath);
+        TestReporter.logTable(metrics.toTable());
+    }
+
+    /**
+     * Check the metrics against the budget, report the outcome and return the violations
+     */
+    static List<String> checkBudget(PageMetrics metrics, PerformanceBudget budget) {
+        List<String> violations = new ArrayList<>();
+        if (budget != null) {
+            violations.addAll(budget.check(metrics));
+            for (String violation : violations) {
+                TestReporter.logFail("Performance budget exceeded for " + metrics.getUrl() + ": " + violation);
+            }
+            if (violations.isEmpty()) {
+                TestReporter.logPass("Performance budget met for: " + metrics.getUrl());
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * Page captured during the current test and the page object created for it, if any
+     */
+    private static class PageCapture {
+        private final PageMetrics metrics;
+        private BasePage page;
+
+        PageCapture(PageMetrics metrics) {
+            this.metrics = metrics;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.framework;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.testng.Assert;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+import org.testng.TestListenerAdapter;
+import org.testng.TestNG;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Browser-free check of automatic page performance capture: navigations through a decorated stub driver
+ * are captured, checked against the page object's budget and fail the test once it returns
+ */
+public class PagePerformanceListenerTest {
+
+    private static final String METRICS_FILE = "src/test/resources/performance/page-metrics.json";
+    private static final String CHECKOUT_URL = "http://localhost:8080/checkout";
+
+    @Test(description = "Pages captured on navigation fail the test when they exceed the page object's budget")
+    public void testAutomaticCaptureEnforcesPageBudget() {
+        TestNG testng = new TestNG(false);
+        testng.setTestClasses(new Class[]{NavigatingWorkload.class});
+        testng.addListener(new BudgetListener());
+        TestListenerAdapter results = new TestListenerAdapter();
+        testng.addListener(results);
+        testng.setVerbose(0);
+        testng.run();
+
+        Assert.assertEquals(results.getPassedTests().size(), 1);
+        Assert.assertEquals(results.getPassedTests().get(0).getName(), "testPageWithinBudget");
+        Assert.assertEquals(results.getFailedTests().size(), 1);
+        ITestResult failed = results.getFailedTests().get(0);
+        Assert.assertEquals(failed.getName(), "testPageOverBudget");
+        Assert.assertTrue(failed.getThrowable().getMessage().contains("Request count 4 exceeds budget of 2"),
+                failed.getThrowable().getMessage());
+        Assert.assertTrue(PagePerformanceListener.drainViolations().isEmpty(), "Captured pages were left pending");
+    }
+
+    /**
+     * Tests that navigate to a captured page and create a page object with its own budget
+     */
+    static class NavigatingWorkload {
+
+        @Test
+        public void testPageOverBudget() {
+            new PagePerformanceTest.BudgetedPage(openCheckout(), new PerformanceBudget().maxRequestCount(2));
+        }
+
+        @Test
+        public void testPageWithinBudget() {
+            new PagePerformanceTest.BudgetedPage(openCheckout(), new PerformanceBudget().maxRequestCount(4));
+        }
+
+        private WebDriver openCheckout() {
+            WebDriver stub = stubDriver();
+            WebDriver driver = new EventFiringDecorator<>(new PagePerformanceListener(stub)).decorate(stub);
+            driver.get(CHECKOUT_URL);
+            return driver;
+        }
+    }
+
+    /**
+     * Applies budgets to the nested run's tests the same way TestListener does
+     */
+    static class BudgetListener implements IInvokedMethodListener {
+
+        @Override
+        public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+            TestListener.enforcePerformanceBudgets(method, testResult);
+        }
+    }
+
+    /**
+     * Driver that loads every page instantly and reports the captured performance entries of the fixture
+     */
+    private static WebDriver stubDriver() {
+        String entries;
+        try {
+            entries = Files.readString(Paths.get(METRICS_FILE));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        AtomicReference<String> currentUrl = new AtomicReference<>("about:blank");
+        AtomicLong documents = new AtomicLong();
+
+        return (WebDriver) Proxy.newProxyInstance(PagePerformanceListenerTest.class.getClassLoader(),
+                new Class[]{WebDriver.class, JavascriptExecutor.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "get":
+                            currentUrl.set((String) args[0]);
+                            documents.incrementAndGet();
+                            return null;
+                        case "getCurrentUrl":
+                            return currentUrl.get();
+                        case "executeScript":
+                            String script = (String) args[0];
+                            if (script.equals("return performance.timeOrigin")) {
+                                return documents.get();
+                            } else if (script.contains("document.readyState")) {
+                                return true;
+                            } else if (script.contains("JSON.stringify")) {
+                                return entries;
+                            }
+                            return null;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "StubDriver(" + currentUrl.get() + ")";
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
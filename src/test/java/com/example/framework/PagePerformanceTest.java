@@ -0,0 +1,79 @@
+package com.example.framework;
+
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.nio.file.Paths;
+
+/**
+ * Captures page performance from local static pages and checks that budgets fail the test.
+ * Skipped when no Chrome browser is available.
+ */
+public class PagePerformanceTest {
+
+    private LocalPageServer server;
+    private WebDriver driver;
+
+    @BeforeClass
+    public void startBrowser() {
+        server = new LocalPageServer(Paths.get("src/test/resources/pages"));
+        server.start();
+        try {
+            driver = BaseTest.createWebDriver("chrome", true);
+        } catch (RuntimeException e) {
+            server.stop();
+            throw new SkipException("Chrome is not available: " + e.getMessage());
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopBrowser() {
+        if (driver != null) {
+            driver.quit();
+        }
+        server.stop();
+    }
+
+    @Test(description = "A page within its budget passes and its requests are counted")
+    public void testPageWithinBudget() {
+        driver.get(server.getBaseUrl() + "heavy.html");
+        BudgetedPage page = new BudgetedPage(driver, new PerformanceBudget().maxRequestCount(10).maxTotalBytes(100_000));
+
+        PageMetrics metrics = page.capturePagePerformance();
+
+        Assert.assertEquals(metrics.getRequestCount(), 6);
+        Assert.assertTrue(metrics.getTotalBytes() > 0);
+    }
+
+    @Test(description = "A page exceeding its budget fails the test")
+    public void testPageExceedingBudget() {
+        driver.get(server.getBaseUrl() + "heavy.html");
+        BudgetedPage page = new BudgetedPage(driver, new PerformanceBudget().maxRequestCount(3).maxTotalBytes(500));
+
+        AssertionError error = Assert.expectThrows(AssertionError.class, page::capturePagePerformance);
+
+        Assert.assertTrue(error.getMessage().contains("Request count 6 exceeds budget of 3"), error.getMessage());
+    }
+
+    /**
+     * Page object declaring its own performance budget
+     */
+    static class BudgetedPage extends BasePage {
+
+        private final PerformanceBudget budget;
+
+        BudgetedPage(WebDriver driver, PerformanceBudget budget) {
+            super(driver);
+            this.budget = budget;
+        }
+
+        @Override
+        protected PerformanceBudget getPerformanceBudget(String url) {
+            return budget;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.framework;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Page performance limits checked against captured page metrics.
+ * Budgets can be declared in code or in a JSON file named by -Dpage.performance.budgets, which maps
+ * URL regular expressions to limits, e.g. {".*checkout.*": {"maxTimeToFirstByteMillis": 800, "maxRequestCount": 40}}
+ */
+public class PerformanceBudget {
+
+    private static final Logger logger = LoggerFactory.getLogger(PerformanceBudget.class);
+    private static final String BUDGETS_PROPERTY = "page.performance.budgets";
+    private static Map<Pattern, PerformanceBudget> budgetsByUrl;
+
+    private Long maxTimeToFirstByteMillis;
+    private Long maxLoadTimeMillis;
+    private Long maxTotalBytes;
+    private Integer maxRequestCount;
+
+    public PerformanceBudget maxTimeToFirstByte(long millis) {
+        this.maxTimeToFirstByteMillis = millis;
+        return this;
+    }
+
+    public PerformanceBudget maxLoadTime(long millis) {
+        this.maxLoadTimeMillis = millis;
+        return this;
+    }
+
+    public PerformanceBudget maxTotalBytes(long bytes) {
+        this.maxTotalBytes = bytes;
+        return this;
+    }
+
+    public PerformanceBudget maxRequestCount(int count) {
+        this.maxRequestCount = count;
+        return this;
+    }
+
+    /**
+     * Check the metrics against the budget and return a description of every exceeded limit
+     */
+    public List<String> check(PageMetrics metrics) {
+        List<String> violations = new ArrayList<>();
+        if (maxTimeToFirstByteMillis != null && metrics.getTimeToFirstByte() > maxTimeToFirstByteMillis) {
+            violations.add(String.format("TTFB %.0f ms exceeds budget of %d ms",
+                    metrics.getTimeToFirstByte(), maxTimeToFirstByteMillis));
+        }
+        if (maxLoadTimeMillis != null && metrics.getLoadTime() > maxLoadTimeMillis) {
+            violations.add(String.format("Load time %.0f ms exceeds budget of %d ms",
+                    metrics.getLoadTime(), maxLoadTimeMillis));
+        }
+        if (maxTotalBytes != null && metrics.getTotalBytes() > maxTotalBytes) {
+            violations.add(String.format("Total bytes %d exceed budget of %d",
+                    metrics.getTotalBytes(), maxTotalBytes));
+        }
+        if (maxRequestCount != null && metrics.getRequestCount() > maxRequestCount) {
+            violations.add(String.format("Request count %d exceeds budget of %d",
+                    metrics.getRequestCount(), maxRequestCount));
+        }
+        return violations;
+    }
+
+    /**
+     * Find the first budget from the budgets file whose URL pattern matches the given URL
+     */
+    public static synchronized PerformanceBudget forUrl(String url) {
+        if (budgetsByUrl == null) {
+            String filePath = System.getProperty(BUDGETS_PROPERTY);
+            budgetsByUrl = filePath != null ? readBudgets(filePath) : Collections.emptyMap();
+        }
+        for (Map.Entry<Pattern, PerformanceBudget> entry : budgetsByUrl.entrySet()) {
+            if (entry.getKey().matcher(url).matches()) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Read URL pattern to budget mappings from a JSON file
+     */
+    public static Map<Pattern, PerformanceBudget> readBudgets(String filePath) {
+        Map<Pattern, PerformanceBudget> budgets = new LinkedHashMap<>();
+        ObjectMapper mapper = new ObjectMapper();
+
+        try {
+            JsonNode rootNode = mapper.readTree(new File(filePath));
+            rootNode.fields().forEachRemaining(entry -> {
+                JsonNode node = entry.getValue();
+                PerformanceBudget budget = new PerformanceBudget();
+                if (node.has("maxTimeToFirstByteMillis")) {
+                    budget.maxTimeToFirstByte(node.get("maxTimeToFirstByteMillis").asLong());
+                }
+                if (node.has("maxLoadTimeMillis")) {
+                    budget.maxLoadTime(node.get("maxLoadTimeMillis").asLong());
+                }
+                if (node.has("maxTotalBytes")) {
+                    budget.maxTotalBytes(node.get("maxTotalBytes").asLong());
+                }
+                if (node.has("maxRequestCount")) {
+                    budget.maxRequestCount(node.get("maxRequestCount").asInt());
+                }
+                budgets.put(Pattern.compile(entry.getKey()), budget);
+            });
+        } catch (IOException e) {
+            logger.error("Error reading performance budgets file: {}", filePath, e);
+            throw new RuntimeException("Failed to read performance budgets", e);
+        }
+
+        logger.info("Loaded {} performance budget(s) from: {}", budgets.size(), filePath);
+        return budgets;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.framework;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Browser-free checks of page metrics and performance budgets using captured performance entries
+ */
+public class PerformanceBudgetTest {
+
+    private static final String METRICS_FILE = "src/test/resources/performance/page-metrics.json";
+    private static final String BUDGETS_FILE = "src/test/resources/performance/budgets.json";
+    private PageMetrics metrics;
+
+    @BeforeClass
+    public void loadMetrics() throws IOException {
+        metrics = PageMetrics.fromJson(Files.readString(Paths.get(METRICS_FILE)));
+    }
+
+    @Test(description = "Metrics are derived from navigation and resource timing entries")
+    public void testMetricsFromEntries() {
+        Assert.assertEquals(metrics.getUrl(), "http://localhost:8080/checkout");
+        Assert.assertEquals(metrics.getTimeToFirstByte(), 180.0);
+        Assert.assertEquals(metrics.getLoadTime(), 420.5);
+        Assert.assertEquals(metrics.getRequestCount(), 4);
+        // The cached stylesheet counts its encoded body size, the opaque cross-origin image counts nothing
+        Assert.assertEquals(metrics.getTotalBytes(), 2300 + 15300 + 4000);
+    }
+
+    @Test(description = "A budget within the captured metrics reports no violations")
+    public void testBudgetWithinLimits() {
+        PerformanceBudget budget = new PerformanceBudget()
+                .maxTimeToFirstByte(200)
+                .maxLoadTime(500)
+                .maxTotalBytes(25000)
+                .maxRequestCount(4);
+
+        Assert.assertTrue(budget.check(metrics).isEmpty());
+    }
+
+    @Test(description = "Every exceeded limit is reported")
+    public void testExceededBudget() {
+        PerformanceBudget budget = new PerformanceBudget()
+                .maxTimeToFirstByte(100)
+                .maxLoadTime(400)
+                .maxTotalBytes(10000)
+                .maxRequestCount(2);
+
+        List<String> violations = budget.check(metrics);
+
+        Assert.assertEquals(violations.size(), 4, violations.toString());
+    }
+
+    @Test(description = "Budgets read from a file apply to pages matching their URL pattern")
+    public void testReadBudgets() {
+        Map<Pattern, PerformanceBudget> budgets = PerformanceBudget.readBudgets(BUDGETS_FILE);
+        PerformanceBudget checkoutBudget = budgets.entrySet().stream()
+                .filter(entry -> entry.getKey().matcher(metrics.getUrl()).matches())
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElseThrow();
+
+        List<String> violations = checkoutBudget.check(metrics);
+
+        Assert.assertEquals(budgets.size(), 2);
+        Assert.assertEquals(violations.size(), 3, violations.toString());
+        Assert.assertTrue(violations.stream().anyMatch(violation -> violation.startsWith("TTFB")));
+        Assert.assertTrue(violations.stream().anyMatch(violation -> violation.startsWith("Total bytes")));
+        Assert.assertTrue(violations.stream().anyMatch(violation -> violation.startsWith("Request count")));
+    }
+
+    @Test(description = "HAR export contains one entry per request and does not invent request methods")
+    public void testHarExport() {
+        JsonNode entries = metrics.toHar().path("log").path("entries");
+
+        Assert.assertEquals(entries.size(), 4);
+        Assert.assertEquals(entries.get(0).path("request").path("url").asText(), metrics.getUrl());
+        Assert.assertEquals(entries.get(0).path("timings").path("wait").asDouble(), 174.0);
+        Assert.assertEquals(entries.get(1).path("request").path("method").asText(), "");
+        Assert.assertEquals(entries.get(3).path("timings").path("wait").asDouble(), -1.0);
+    }
+
+    @Test(description = "A full Resource Timing buffer is reported only when the page signalled it")
+    public void testResourceBufferFull() throws IOException {
+        ObjectNode page = (ObjectNode) new ObjectMapper().readTree(Files.readString(Paths.get(METRICS_FILE)));
+        ArrayNode resources = page.putArray("resources");
+        for (int i = 0; i < 250; i++) {
+            resources.addObject().put("name", "http://localhost:8080/assets/image-" + i + ".png");
+        }
+
+        Assert.assertFalse(metrics.isResourceBufferFull());
+        Assert.assertFalse(PageMetrics.fromJson(page.toString()).isResourceBufferFull(),
+                "250 resources fit in the enlarged buffer");
+        page.put("resourceBufferFull", true);
+        Assert.assertTrue(PageMetrics.fromJson(page.toString()).isResourceBufferFull());
+    }
+}
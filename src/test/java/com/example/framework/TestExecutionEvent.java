@@ -0,0 +1,42 @@
+package com.example.framework;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Custom Flight Recorder event spanning one invoked test or configuration method.
+ * Events of a test method and its @BeforeMethod/@AfterMethod share the same test id.
+ */
+@Name("com.example.framework.TestExecution")
+@Label("Test Execution")
+@Category({"Test Framework"})
+@Description("Execution window of a single test or configuration method")
+@StackTrace(false)
+class TestExecutionEvent extends Event {
+
+    @Label("Test Id")
+    long testId;
+
+    @Label("Test Class")
+    String testClass;
+
+    @Label("Method")
+    String testMethod;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocatedBytes;
+
+    @Label("CPU Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long cpuTime;
+}
@@ -5,6 +5,10 @@ import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
@@ -14,14 +18,53 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 /**
  * TestNG listener for handling test events and reporting
  */
-public class TestListener implements ITestListener {
+public class TestListener implements ITestListener, ISuiteListener, IInvokedMethodListener {
     
     private static final Logger logger = LoggerFactory.getLogger(TestListener.class);
     
+    @Override
+    public void onStart(ISuite suite) {
+        TestReporter.initReports();
+        TestProfiler.startRecording();
+    }
+    
+    @Override
+    public void onFinish(ISuite suite) {
+        TestProfiler.stopAndReport();
+        TestReporter.flushReports();
+    }
+    
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        TestProfiler.methodStarted(method);
+    }
+    
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        TestProfiler.methodFinished(method);
+        enforcePerformanceBudgets(method, testResult);
+    }
+    
+    /**
+     * Fail a passing test whose automatically captured pages exceeded their performance budgets
+     */
+    static void enforcePerformanceBudgets(IInvokedMethod method, ITestResult testResult) {
+        // Pages captured in @BeforeMethod stay pending until the test itself has run
+        if (method.getTestMethod().isBeforeMethodConfiguration()) {
+            return;
+        }
+        List<String> violations = PagePerformanceListener.drainViolations();
+        if (method.isTestMethod() && !violations.isEmpty() && testResult.getStatus() == ITestResult.SUCCESS) {
+            testResult.setStatus(ITestResult.FAILURE);
+            testResult.setThrowable(new AssertionError("Performance budget exceeded: " + String.join("; ", violations)));
+        }
+    }
+    
     @Override
     public void onTestStart(ITestResult result) {
         String testName = result.getMethod().getMethodName();
@@ -33,10 +76,12 @@ public class TestListener implements ITestListener {
         TestReporter.logInfo("Test started: " + testName);
         
         logger.info("Starting test: {}.{}", className, testName);
+        TestProfiler.testStarted(result);
     }
     
     @Override
     public void onTestSuccess(ITestResult result) {
+        TestProfiler.testFinished(result, "PASSED");
         String testName = result.getMethod().getMethodName();
         TestReporter.logPass("Test passed: " + testName);
         logger.info("Test passed: {}", testName);
@@ -44,6 +89,7 @@ public class TestListener implements ITestListener {
     
     @Override
     public void onTestFailure(ITestResult result) {
+        TestProfiler.testFinished(result, "FAILED");
         String testName = result.getMethod().getMethodName();
         Throwable throwable = result.getThrowable();
         
@@ -60,6 +106,7 @@ public class TestListener implements ITestListener {
     
     @Override
     public void onTestSkipped(ITestResult result) {
+        TestProfiler.testFinished(result, "SKIPPED");
         String testName = result.getMethod().getMethodName();
         Throwable throwable = result.getThrowable();
         
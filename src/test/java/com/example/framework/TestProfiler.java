@@ -0,0 +1,495 @@
+package com.example.framework;
+
+import com.aventstack.extentreports.ExtentTest;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IInvokedMethod;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Opt-in per-test profiler backed by Java Flight Recorder.
+ * Enable with -Dtest.profile=true; the sampling period can be tuned with -Dtest.profile.samplingMillis.
+ * TestListener drives the profiler, so it must be registered with the suite as testng.xml does.
+ * Time spent in @BeforeMethod and @AfterMethod is charged to the test they surround; other
+ * configuration methods are reported as rows of their own.
+ */
+public class TestProfiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TestProfiler.class);
+    private static final boolean ENABLED = Boolean.getBoolean("test.profile");
+    private static final long SAMPLING_MILLIS = Long.getLong("test.profile.samplingMillis", 10);
+    private static final String OUTPUT_DIR = "test-output/profiling";
+    private static final String EVENT_NAME = "com.example.framework.TestExecution";
+
+    private static final String PHASE_BEFORE_METHOD = "BEFORE_METHOD";
+    private static final String PHASE_TEST = "TEST";
+    private static final String PHASE_AFTER_METHOD = "AFTER_METHOD";
+    private static final String PHASE_CONFIGURATION = "CONFIGURATION";
+
+    private static final com.sun.management.ThreadMXBean threadBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final ThreadLocal<TestWindow> currentTest = new ThreadLocal<>();
+    private static final ThreadLocal<ActiveInvocation> activeInvocation = new ThreadLocal<>();
+    private static final Map<Long, ExtentTest> reportNodes = new ConcurrentHashMap<>();
+    private static final Map<Long, String> statuses = new ConcurrentHashMap<>();
+    private static final AtomicLong testIds = new AtomicLong();
+    private static Recording recording;
+
+    /**
+     * Check whether profiling was requested for this run
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Start the flight recording if profiling is enabled
+     */
+    public static void startRecording() {
+        if (ENABLED) {
+            beginRecording();
+        }
+    }
+
+    /**
+     * Start the flight recording whether or not profiling was requested for the run
+     */
+    static synchronized void beginRecording() {
+        if (recording != null) {
+            return;
+        }
+        reportNodes.clear();
+        statuses.clear();
+        try {
+            recording = new Recording(Configuration.getConfiguration("profile"));
+            recording.setName("test-profile");
+            recording.setToDisk(true);
+            recording.enable(TestExecutionEvent.class);
+            recording.enable("jdk.ExecutionSample").withPeriod(Duration.ofMillis(SAMPLING_MILLIS));
+            recording.enable("jdk.GarbageCollection");
+            recording.start();
+            logger.info("Test profiling started (sampling every {} ms)", SAMPLING_MILLIS);
+        } catch (IOException | ParseException e) {
+            logger.error("Failed to start test profiling recording", e);
+            recording = null;
+        }
+    }
+
+    /**
+     * Stop the flight recording and write it to the given file
+     */
+    static synchronized void stopRecording(Path recordingPath) throws IOException {
+        if (recording == null) {
+            throw new IllegalStateException("Test profiling recording is not running");
+        }
+        try {
+            recording.stop();
+            recording.dump(recordingPath);
+            logger.info("Test profiling recording saved: {}", recordingPath);
+        } finally {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    /**
+     * Link the report node of the test starting on the current thread to its profile
+     */
+    public static void testStarted(ITestResult result) {
+        if (recording == null) {
+            return;
+        }
+        ExtentTest reportNode = TestReporter.getCurrentTest();
+        if (reportNode != null) {
+            reportNodes.put(openTest().testId, reportNode);
+        }
+    }
+
+    /**
+     * Record the outcome of the test on the current thread; its @AfterMethod time is still charged to it
+     */
+    public static void testFinished(ITestResult result, String status) {
+        TestWindow window = currentTest.get();
+        if (recording == null || window == null || window.testFinished) {
+            return;
+        }
+        statuses.put(window.testId, status);
+        window.testFinished = true;
+    }
+
+    /**
+     * Open a profiling window for a test or configuration method about to run on the current thread
+     */
+    public static void methodStarted(IInvokedMethod method) {
+        if (recording == null) {
+            return;
+        }
+        ITestNGMethod testMethod = method.getTestMethod();
+        TestExecutionEvent event = new TestExecutionEvent();
+        if (method.isTestMethod()) {
+            event.testId = openTest().testId;
+            event.phase = PHASE_TEST;
+        } else if (testMethod.isBeforeMethodConfiguration()) {
+            event.testId = openTest().testId;
+            event.phase = PHASE_BEFORE_METHOD;
+        } else if (testMethod.isAfterMethodConfiguration()) {
+            TestWindow window = currentTest.get();
+            event.testId = window != null ? window.testId : openTest().testId;
+            event.phase = PHASE_AFTER_METHOD;
+        } else {
+            event.testId = testIds.incrementAndGet();
+            event.phase = PHASE_CONFIGURATION;
+        }
+        event.testClass = testMethod.getRealClass().getName();
+        event.testMethod = testMethod.getMethodName();
+
+        long threadId = Thread.currentThread().getId();
+        activeInvocation.set(new ActiveInvocation(event, threadBean.getThreadAllocatedBytes(threadId),
+                threadBean.getCurrentThreadCpuTime()));
+        event.begin();
+    }
+
+    /**
+     * Close the profiling window of the method that just ran on the current thread
+     */
+    public static void methodFinished(IInvokedMethod method) {
+        ActiveInvocation active = activeInvocation.get();
+        if (active == null) {
+            return;
+        }
+        activeInvocation.remove();
+
+        TestExecutionEvent event = active.event;
+        event.end();
+        long threadId = Thread.currentThread().getId();
+        event.allocatedBytes = threadBean.getThreadAllocatedBytes(threadId) - active.allocatedBytesAtStart;
+        event.cpuTime = threadBean.getCurrentThreadCpuTime() - active.cpuTimeAtStart;
+        event.commit();
+    }
+
+    /**
+     * Get the test window of the current thread, starting a new one once the previous test has finished
+     */
+    private static TestWindow openTest() {
+        TestWindow window = currentTest.get();
+        if (window == null || window.testFinished) {
+            window = new TestWindow(testIds.incrementAndGet());
+            currentTest.set(window);
+        }
+        return window;
+    }
+
+    /**
+     * Stop the recording, attribute its samples to tests and publish the ranked cost table
+     */
+    public static synchronized void stopAndReport() {
+        if (recording == null) {
+            return;
+        }
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
+        File profileDir = new File(OUTPUT_DIR);
+        if (!profileDir.exists()) {
+            profileDir.mkdirs();
+        }
+        Path recordingPath = Paths.get(OUTPUT_DIR, "test-profile_" + timestamp + ".jfr");
+
+        try {
+            stopRecording(recordingPath);
+            List<TestCost> costs = attributeCosts(recordingPath);
+
+            String[][] table = toTable(costs);
+            Path tablePath = Paths.get(OUTPUT_DIR, "test-profile_" + timestamp + ".txt");
+            Files.write(tablePath, formatTable(table).getBytes());
+            logger.info("Per-test cost table saved: {}\n{}", tablePath, formatTable(table));
+
+            for (TestCost cost : costs) {
+                ExtentTest reportNode = reportNodes.get(cost.testId);
+                if (reportNode != null) {
+                    reportNode.info("Profile: " + cost.describe());
+                }
+            }
+            TestReporter.addSummaryTable("Test Profiling Summary (ranked by wall time, recording: "
+                    + recordingPath + ")", table);
+        } catch (IOException e) {
+            logger.error("Failed to produce test profiling report", e);
+        } finally {
+            reportNodes.clear();
+            statuses.clear();
+        }
+    }
+
+    /**
+     * Read a recording back, attribute CPU samples and GC pauses to the test windows and rank the tests by wall time
+     */
+    static List<TestCost> attributeCosts(Path recordingPath) throws IOException {
+        Map<Long, TestCost> costsById = new LinkedHashMap<>();
+        Map<Long, List<Window>> windowsByThread = new HashMap<>();
+        List<Window> windows = new ArrayList<>();
+
+        try (RecordingFile file = new RecordingFile(recordingPath)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                if (event.getEventType().getName().equals(EVENT_NAME)) {
+                    TestCost cost = costsById.computeIfAbsent(event.getLong("testId"), TestCost::new);
+                    cost.addInvocation(event);
+                    Window window = new Window(event.getStartTime(), event.getEndTime(), cost);
+                    windows.add(window);
+                    windowsByThread.computeIfAbsent(event.getThread().getJavaThreadId(), id -> new ArrayList<>())
+                            .add(window);
+                }
+            }
+        }
+        for (List<Window> threadWindows : windowsByThread.values()) {
+            threadWindows.sort(Comparator.comparing(window -> window.start));
+        }
+
+        try (RecordingFile file = new RecordingFile(recordingPath)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                switch (event.getEventType().getName()) {
+                    case "jdk.ExecutionSample":
+                        RecordedThread thread = event.getThread("sampledThread");
+                        if (thread != null) {
+                            Window window = findWindow(windowsByThread.get(thread.getJavaThreadId()), event.getStartTime());
+                            if (window != null) {
+                                window.cost.addSample(event.getStackTrace());
+                            }
+                        }
+                        break;
+                    case "jdk.GarbageCollection":
+                        // GC pauses stop every thread, so charge them to each test running at the time
+                        Duration pause = event.getDuration("sumOfPauses");
+                        Set<TestCost> charged = new HashSet<>();
+                        for (Window window : windows) {
+                            if (window.contains(event.getStartTime()) && charged.add(window.cost)) {
+                                window.cost.gcCount++;
+                                window.cost.gcPause = window.cost.gcPause.plus(pause);
+                            }
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+        List<TestCost> costs = new ArrayList<>(costsById.values());
+        costs.sort(Comparator.comparing((TestCost cost) -> cost.wallTime).reversed());
+        return costs;
+    }
+
+    /**
+     * Find the window on a thread that contains the given instant
+     */
+    private static Window findWindow(List<Window> threadWindows, Instant instant) {
+        if (threadWindows == null) {
+            return null;
+        }
+        int low = 0;
+        int high = threadWindows.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            Window window = threadWindows.get(mid);
+            if (instant.isBefore(window.start)) {
+                high = mid - 1;
+            } else if (instant.isAfter(window.end)) {
+                low = mid + 1;
+            } else {
+                return window;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Ranked cost table with one row per test or configuration method
+     */
+    static String[][] toTable(List<TestCost> costs) {
+        String[][] table = new String[costs.size() + 1][];
+        table[0] = new String[]{"Rank", "Test", "Status", "Wall (ms)", "Setup (ms)", "Teardown (ms)", "CPU (ms)",
+                "CPU Samples", "Allocated (MB)", "GC Pauses", "GC Pause (ms)", "Hottest Frame"};
+        for (int i = 0; i < costs.size(); i++) {
+            TestCost cost = costs.get(i);
+            table[i + 1] = new String[]{
+                    String.valueOf(i + 1),
+                    cost.name,
+                    cost.status(),
+                    String.valueOf(cost.wallTime.toMillis()),
+                    String.valueOf(cost.setupTime.toMillis()),
+                    String.valueOf(cost.teardownTime.toMillis()),
+                    String.valueOf(cost.cpuTime.toMillis()),
+                    String.valueOf(cost.samples),
+                    String.format("%.2f", cost.allocatedBytes / (1024.0 * 1024.0)),
+                    String.valueOf(cost.gcCount),
+                    String.valueOf(cost.gcPause.toMillis()),
+                    cost.hottestFrame()
+            };
+        }
+        return table;
+    }
+
+    private static String formatTable(String[][] table) {
+        int[] widths = new int[table[0].length];
+        for (String[] row : table) {
+            for (int i = 0; i < row.length; i++) {
+                widths[i] = Math.max(widths[i], row[i].length());
+            }
+        }
+        StringBuilder builder = new StringBuilder();
+        for (String[] row : table) {
+            for (int i = 0; i < row.length; i++) {
+                builder.append(String.format("%-" + widths[i] + "s  ", row[i]));
+            }
+            builder.append(System.lineSeparator());
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Test currently being profiled on a thread
+     */
+    private static class TestWindow {
+        private final long testId;
+        private boolean testFinished;
+
+        TestWindow(long testId) {
+            this.testId = testId;
+        }
+    }
+
+    /**
+     * Per-thread state captured when a method starts
+     */
+    private static class ActiveInvocation {
+        private final TestExecutionEvent event;
+        private final long allocatedBytesAtStart;
+        private final long cpuTimeAtStart;
+
+        ActiveInvocation(TestExecutionEvent event, long allocatedBytesAtStart, long cpuTimeAtStart) {
+            this.event = event;
+            this.allocatedBytesAtStart = allocatedBytesAtStart;
+            this.cpuTimeAtStart = cpuTimeAtStart;
+        }
+    }
+
+    /**
+     * Execution window of one invoked method, charged to a test
+     */
+    private static class Window {
+        private final Instant start;
+        private final Instant end;
+        private final TestCost cost;
+
+        Window(Instant start, Instant end, TestCost cost) {
+            this.start = start;
+            this.end = end;
+            this.cost = cost;
+        }
+
+        boolean contains(Instant instant) {
+            return !instant.isBefore(start) && !instant.isAfter(end);
+        }
+    }
+
+    /**
+     * Costs attributed to a single test including its @BeforeMethod and @AfterMethod, or to a configuration method
+     */
+    static class TestCost {
+        private final long testId;
+        private final Map<String, Integer> frameCounts = new HashMap<>();
+        private String name;
+        private boolean configuration = true;
+        private Duration wallTime = Duration.ZERO;
+        private Duration setupTime = Duration.ZERO;
+        private Duration teardownTime = Duration.ZERO;
+        private Duration cpuTime = Duration.ZERO;
+        private long allocatedBytes;
+        private int samples;
+        private int gcCount;
+        private Duration gcPause = Duration.ZERO;
+
+        TestCost(long testId) {
+            this.testId = testId;
+        }
+
+        void addInvocation(RecordedEvent event) {
+            String phase = event.getString("phase");
+            String methodName = event.getString("testClass") + "." + event.getString("testMethod");
+            if (phase.equals(PHASE_TEST)) {
+                name = methodName;
+                configuration = false;
+            } else if (name == null) {
+                name = methodName + " (" + phase + ")";
+            }
+            if (phase.equals(PHASE_BEFORE_METHOD)) {
+                setupTime = setupTime.plus(event.getDuration());
+            } else if (phase.equals(PHASE_AFTER_METHOD)) {
+                teardownTime = teardownTime.plus(event.getDuration());
+            }
+            wallTime = wallTime.plus(event.getDuration());
+            cpuTime = cpuTime.plus(event.getDuration("cpuTime"));
+            allocatedBytes += event.getLong("allocatedBytes");
+        }
+
+        String status() {
+            return statuses.getOrDefault(testId, configuration ? "CONFIG" : "-");
+        }
+
+        /**
+         * Count the sample against the first frame outside the JDK so framework and Selenium calls stand out
+         */
+        void addSample(RecordedStackTrace stackTrace) {
+            samples++;
+            if (stackTrace == null) {
+                return;
+            }
+            for (RecordedFrame frame : stackTrace.getFrames()) {
+                if (!frame.isJavaFrame()) {
+                    continue;
+                }
+                String typeName = frame.getMethod().getType().getName();
+                if (!typeName.startsWith("java.") && !typeName.startsWith("jdk.")
+                        && !typeName.startsWith("sun.") && !typeName.startsWith("com.sun.")) {
+                    frameCounts.merge(typeName + "." + frame.getMethod().getName(), 1, Integer::sum);
+                    return;
+                }
+            }
+        }
+
+        String hottestFrame() {
+            return frameCounts.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .map(entry -> entry.getKey() + " (" + entry.getValue() + ")")
+                    .orElse("-");
+        }
+
+        String describe() {
+            return String.format("wall %d ms (setup %d ms, teardown %d ms), cpu %d ms, %d samples, %.2f MB allocated, "
+                            + "%d GC pauses (%d ms), hottest frame %s",
+                    wallTime.toMillis(), setupTime.toMillis(), teardownTime.toMillis(), cpuTime.toMillis(), samples,
+                    allocatedBytes / (1024.0 * 1024.0), gcCount, gcPause.toMillis(), hottestFrame());
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.framework;
+
+import org.testng.Assert;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.SkipException;
+import org.testng.TestNG;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Profiles a nested TestNG run of a known workload and checks how its costs are attributed to tests
+ */
+public class TestProfilerTest {
+
+    private static final int TEST_COLUMN = 1;
+    private static final int STATUS_COLUMN = 2;
+    private static final int SETUP_COLUMN = 4;
+    private static final int SAMPLES_COLUMN = 7;
+    private static final int HOTTEST_FRAME_COLUMN = 11;
+
+    @Test(description = "Setup time, status and CPU samples are charged to the test they belong to")
+    public void testCostsAttributedToTests() throws IOException {
+        if (TestProfiler.isEnabled()) {
+            throw new SkipException("The suite is already being profiled");
+        }
+        Path recordingPath = Files.createTempFile("test-profile", ".jfr");
+        try {
+            TestProfiler.beginRecording();
+            TestNG testng = new TestNG(false);
+            testng.setTestClasses(new Class[]{ProfiledWorkload.class});
+            testng.addListener(new ProfilingListener());
+            testng.setVerbose(0);
+            testng.run();
+            TestProfiler.stopRecording(recordingPath);
+
+            String[][] table = TestProfiler.toTable(TestProfiler.attributeCosts(recordingPath));
+            String[] busyTest = findRow(table, "testBusyWork");
+            String[] failingTest = findRow(table, "testFailing");
+
+            Assert.assertEquals(table.length, 3, "Expected a header and one row per test");
+            Assert.assertEquals(busyTest[STATUS_COLUMN], "PASSED");
+            Assert.assertEquals(failingTest[STATUS_COLUMN], "FAILED");
+            long setupMillis = Long.parseLong(busyTest[SETUP_COLUMN]);
+            Assert.assertTrue(setupMillis >= 200 && setupMillis < 2000, "Setup was " + setupMillis + " ms");
+            Assert.assertTrue(Long.parseLong(busyTest[SAMPLES_COLUMN]) > 0, "Busy test has no CPU samples");
+            Assert.assertTrue(busyTest[HOTTEST_FRAME_COLUMN].contains("ProfiledWorkload"), busyTest[HOTTEST_FRAME_COLUMN]);
+        } finally {
+            Files.deleteIfExists(recordingPath);
+        }
+    }
+
+    private static String[] findRow(String[][] table, String methodName) {
+        return Arrays.stream(table)
+                .filter(row -> row[TEST_COLUMN].endsWith("." + methodName))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No profile row for " + methodName));
+    }
+
+    /**
+     * Workload with a slow @BeforeMethod, a CPU-bound test and a failing test
+     */
+    static class ProfiledWorkload {
+
+        private static double result;
+
+        @BeforeMethod
+        public void slowSetUp() throws InterruptedException {
+            Thread.sleep(200);
+        }
+
+        @Test
+        public void testBusyWork() {
+            long end = System.nanoTime() + 500_000_000L;
+            double value = 0;
+            while (System.nanoTime() < end) {
+                value += Math.sqrt(value + 1);
+            }
+            result = value;
+        }
+
+        @Test
+        public void testFailing() {
+            Assert.fail("Expected failure");
+        }
+    }
+
+    /**
+     * Forwards the nested run's events to the profiler the same way TestListener does
+     */
+    static class ProfilingListener implements IInvokedMethodListener, ITestListener {
+
+        @Override
+        public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+            TestProfiler.methodStarted(method);
+        }
+
+        @Override
+        public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+            TestProfiler.methodFinished(method);
+        }
+
+        @Override
+        public void onTestStart(ITestResult result) {
+            TestProfiler.testStarted(result);
+        }
+
+        @Override
+        public void onTestSuccess(ITestResult result) {
+            TestProfiler.testFinished(result, "PASSED");
+        }
+
+        @Override
+        public void onTestFailure(ITestResult result) {
+            TestProfiler.testFinished(result, "FAILED");
+        }
+    }
+}
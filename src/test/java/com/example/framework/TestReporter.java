@@ -3,6 +3,7 @@ package com.example.framework;
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
 import org.slf4j.Logger;
@@ -109,6 +110,16 @@ public class TestReporter {
         logger.warn("WARNING: {}", message);
     }
     
+    /**
+     * Log a table to the current test in the report
+     */
+    public static void logTable(String[][] table) {
+        if (test.get() != null) {
+            test.get().info(MarkupHelper.createTable(table));
+        }
+        logger.debug("Logged table with {} rows to report", table.length);
+    }
+    
     /**
      * Add screenshot to the report
      */
@@ -139,6 +150,16 @@ public class TestReporter {
         logger.debug("Assigned author: {}", author);
     }
     
+    /**
+     * Add a table to the test runner output of the report without creating a test for it
+     */
+    public static void addSummaryTable(String title, String[][] table) {
+        if (extent != null) {
+            extent.addTestRunnerOutput("<h5>" + title + "</h5>" + MarkupHelper.createTable(table).getMarkup());
+        }
+        logger.debug("Added summary to report: {}", title);
+    }
+    
     /**
      * Flush the reports
      */